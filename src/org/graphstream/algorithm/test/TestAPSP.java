@@ -32,6 +32,7 @@ package org.graphstream.algorithm.test;
 
 import java.io.*;
 import java.util.Iterator;
+import java.util.List;
 
 import org.graphstream.algorithm.*;
 import org.graphstream.graph.*;
@@ -235,6 +236,54 @@ public class TestAPSP {
 		assertArrayEquals(npath, npath2);
 	}
 
+	@Test
+	public void TestPaths() {
+		Graph G = new SingleGraph("Test APSP paths", false, true);
+
+		buildGraph1(G);
+
+		APSP apsp = new APSP(G, "weight", true);
+
+		apsp.compute();
+
+		// Check all the shortest paths are consistent : the node and edge
+		// lists describe the same walk, from the source to the target, with
+		// the length computed by APSP.
+
+		for (Node source : G) {
+			APSP.APSPInfo info = source.getAttribute(APSP.APSPInfo.ATTRIBUTE_NAME);
+
+			for (Node target : G) {
+				if (target != source && info.getLengthTo(target.getId()) >= 0) {
+					Path path = info.getShortestPathTo(target.getId());
+
+					checkPath(path, source, target, info.getLengthTo(target
+							.getId()));
+				}
+			}
+		}
+	}
+
+	protected void checkPath(Path path, Node source, Node target, double length) {
+		List<Node> nodes = path.getNodePath();
+		List<Edge> edges = path.getEdgePath();
+		double weight = 0;
+
+		assertEquals(nodes.size(), path.getNodeCount());
+		assertEquals(nodes.size(), edges.size() + 1);
+		assertEquals(source, nodes.get(0));
+		assertEquals(target, nodes.get(nodes.size() - 1));
+
+		for (int i = 0; i < edges.size(); i++) {
+			Edge edge = edges.get(i);
+
+			assertEquals(nodes.get(i + 1), edge.getOpposite(nodes.get(i)));
+			weight += edge.getNumber("weight");
+		}
+
+		assertEquals(length, weight, 1e-6);
+	}
+
 	protected void buildGraph1(Graph G) {
 		// 
 		//  +--0.5-->B<--0.5--+
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2006 - 2011 
+ *     Julien Baudry	<julien.baudry@graphstream-project.org>
+ *     Antoine Dutot	<antoine.dutot@graphstream-project.org>
+ *     Yoann Pigné		<yoann.pigne@graphstream-project.org>
+ *     Guilhelm Savin	<guilhelm.savin@graphstream-project.org>
+ * 
+ * This file is part of GraphStream <http://graphstream-project.org>.
+ * 
+ * GraphStream is a library whose purpose is to handle static or dynamic
+ * graph, create them from scratch, file or any source and display them.
+ * 
+ * This program is free software distributed under the terms of two licenses, the
+ * CeCILL-C license that fits European law, and the GNU Lesser General Public
+ * License. You can  use, modify and/ or redistribute the software under the terms
+ * of the CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+ * URL <http://www.cecill.info> or under the terms of the GNU LGPL as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C and LGPL licenses and that you accept their terms.
+ */
+package org.graphstream.algorithm.test;
+
+import static org.graphstream.algorithm.Toolkit.*;
+import static org.junit.Assert.*;
+
+import org.graphstream.algorithm.generator.BarabasiAlbertGenerator;
+import org.graphstream.graph.Graph;
+import org.graphstream.graph.implementations.SingleGraph;
+import org.graphstream.graph.test.Generate;
+import org.junit.Test;
+
+/**
+ * Test the graph metrics of the toolkit on graphs whose values are known.
+ * 
+ * <p>
+ * Run as a program, this class prints the time spent to compute the metrics
+ * on a large preferential attachment graph.
+ * </p>
+ */
+public class TestToolkit {
+	public static void main(String args[]) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		Graph graph = new TestToolkit().barabasiAlbert(size);
+
+		System.out.printf("%d nodes, %d edges:%n", graph.getNodeCount(),
+				graph.getEdgeCount());
+
+		long t1 = System.currentTimeMillis();
+		int dd[] = degreeDistribution(graph);
+		long t2 = System.currentTimeMillis();
+		double cc = averageClusteringCoefficient(graph);
+		long t3 = System.currentTimeMillis();
+
+		System.out.printf("    degree distribution %5d ms (max degree %d)%n",
+				t2 - t1, dd.length - 1);
+		System.out.printf("    clustering          %5d ms (%f)%n", t3 - t2, cc);
+	}
+
+	@Test
+	public void testFullGraph() {
+		Graph graph = new SingleGraph("full");
+
+		for (int i = 0; i < 5; i++) {
+			graph.addNode(String.format("%d", i));
+
+			for (int j = 0; j < i; j++)
+				graph.addEdge(String.format("%d_%d", j, i), String.format("%d",
+						j), String.format("%d", i));
+		}
+
+		int dd[] = degreeDistribution(graph);
+
+		assertEquals(5, dd.length);
+		assertEquals(5, dd[4]);
+		assertEquals(4, averageDegree(graph), 0);
+		assertEquals(1, averageClusteringCoefficient(graph), 1e-6);
+	}
+
+	@Test
+	public void testRing() {
+		Graph graph = new SingleGraph("ring");
+
+		for (int i = 0; i < 10; i++)
+			graph.addNode(String.format("%d", i));
+
+		for (int i = 0; i < 10; i++)
+			graph.addEdge(String.format("%d", i), String.format("%d", i),
+					String.format("%d", (i + 1) % 10));
+
+		int dd[] = degreeDistribution(graph);
+
+		assertEquals(3, dd.length);
+		assertEquals(0, dd[0]);
+		assertEquals(0, dd[1]);
+		assertEquals(10, dd[2]);
+		assertEquals(0, averageClusteringCoefficient(graph), 1e-6);
+	}
+
+	@Test
+	public void testTriangleWithTail() {
+		// A
+		// |\
+		// | C---D
+		// |/
+		// B
+
+		Graph graph = new SingleGraph("triangle", false, true);
+
+		graph.addEdge("AB", "A", "B");
+		graph.addEdge("BC", "B", "C");
+		graph.addEdge("CA", "C", "A");
+		graph.addEdge("CD", "C", "D");
+
+		int dd[] = degreeDistribution(graph);
+
+		assertEquals(4, dd.length);
+		assertEquals(1, dd[1]);
+		assertEquals(2, dd[2]);
+		assertEquals(1, dd[3]);
+		assertEquals(1, clusteringCoefficient(graph.getNode("A")), 1e-6);
+		assertEquals(1.0 / 3.0, clusteringCoefficient(graph.getNode("C")),
+				1e-6);
+		assertEquals(0, clusteringCoefficient(graph.getNode("D")), 1e-6);
+		assertEquals(7.0 / 12.0, averageClusteringCoefficient(graph), 1e-6);
+	}
+
+	@Test
+	public void testBarabasiAlbert() {
+		Graph graph = barabasiAlbert(1000);
+		int dd[] = degreeDistribution(graph);
+		int nodes = 0;
+		int degrees = 0;
+
+		for (int d = 0; d < dd.length; d++) {
+			nodes += dd[d];
+			degrees += d * dd[d];
+		}
+
+		assertTrue(dd[dd.length - 1] > 0);
+		assertEquals(graph.getNodeCount(), nodes);
+		assertEquals(graph.getEdgeCount() * 2, degrees);
+		assertEquals(degrees / (double) nodes, averageDegree(graph), 1e-6);
+	}
+
+	protected Graph barabasiAlbert(int size) {
+		return Generate.generate(new SingleGraph("ba"),
+				new BarabasiAlbertGenerator(3), size);
+	}
+}
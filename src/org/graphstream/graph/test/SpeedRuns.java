@@ -0,0 +1,83 @@
+/*
+ * Copyright 2006 - 2011 
+ *     Julien Baudry	<julien.baudry@graphstream-project.org>
+ *     Antoine Dutot	<antoine.dutot@graphstream-project.org>
+ *     Yoann Pigné		<yoann.pigne@graphstream-project.org>
+ *     Guilhelm Savin	<guilhelm.savin@graphstream-project.org>
+ * 
+ * This file is part of GraphStream <http://graphstream-project.org>.
+ * 
+ * GraphStream is a library whose purpose is to handle static or dynamic
+ * graph, create them from scratch, file or any source and display them.
+ * 
+ * This program is free software distributed under the terms of two licenses, the
+ * CeCILL-C license that fits European law, and the GNU Lesser General Public
+ * License. You can  use, modify and/ or redistribute the software under the terms
+ * of the CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+ * URL <http://www.cecill.info> or under the terms of the GNU LGPL as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C and LGPL licenses and that you accept their terms.
+ */
+package org.graphstream.graph.test;
+
+import java.util.ArrayList;
+
+/**
+ * Times several ways of doing the same work and prints the results.
+ * 
+ * <p>
+ * Each way is a {@link Run} returning a value that depends on the work done
+ * (for example the number of visited elements), so that the ways can be
+ * checked to do the same work. All the runs are done twice : the first pass
+ * warms the JIT up and only the second one is printed.
+ * </p>
+ */
+public class SpeedRuns {
+	/**
+	 * One way of doing the work.
+	 */
+	public static interface Run {
+		int run();
+	}
+
+	protected ArrayList<String> names = new ArrayList<String>();
+
+	protected ArrayList<Run> runs = new ArrayList<Run>();
+
+	public void add(String name, Run run) {
+		names.add(name);
+		runs.add(run);
+	}
+
+	/**
+	 * Do all the runs twice, print the time spent by each run of the second
+	 * pass and return the values of these runs, in the order they were added.
+	 */
+	public int[] print() {
+		int values[] = new int[runs.size()];
+
+		for (int pass = 0; pass < 2; pass++) {
+			for (int i = 0; i < runs.size(); i++) {
+				long t1 = System.currentTimeMillis();
+				values[i] = runs.get(i).run();
+				long t2 = System.currentTimeMillis();
+
+				if (pass > 0)
+					System.out.printf("    %-12s %5d ms (%d)%n", names.get(i),
+							t2 - t1, values[i]);
+			}
+		}
+
+		return values;
+	}
+}
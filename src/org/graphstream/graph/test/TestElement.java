@@ -289,6 +289,42 @@ public class TestElement {
 		assertNotNull(A.getAttribute("array"));
 	}
 
+	@Test
+	public void testElementArrayChanges() {
+		// Positions are stored as arrays of numbers and changed often. Each
+		// change must be visible in the element and in the sinks.
+
+		Graph graph = new MultiGraph("g1");
+		Graph output = new MultiGraph("g2");
+
+		graph.addSink(output);
+
+		Node A = graph.addNode("A");
+
+		A.addAttribute("xyz", 1f, 2f, 3f);
+
+		Object expected1[] = { 1f, 2f, 3f };
+
+		assertTrue(A.hasArray("xyz"));
+		assertArrayEquals(expected1, A.getArray("xyz"));
+		assertArrayEquals(expected1, output.getNode("A").getArray("xyz"));
+
+		for (int i = 0; i < 100; i++) {
+			A.setAttribute("xyz", i * 0.5, i * 1.5, 0.0);
+
+			Object expected2[] = { i * 0.5, i * 1.5, 0.0 };
+
+			assertEquals(1, A.getAttributeCount());
+			assertArrayEquals(expected2, A.getArray("xyz"));
+			assertArrayEquals(expected2, output.getNode("A").getArray("xyz"));
+		}
+
+		A.removeAttribute("xyz");
+
+		assertFalse(A.hasAttribute("xyz"));
+		assertFalse(output.getNode("A").hasAttribute("xyz"));
+	}
+
 	@Test
 	public void testElementUtilityMethods() {
 		Graph graph = new MultiGraph("g1");
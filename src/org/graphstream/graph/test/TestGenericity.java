@@ -255,6 +255,70 @@ public class TestGenericity {
 		new TestEdgeExtremities<MyConcurrentNode>(g);
 	}
 
+	protected static class CountingMultiNodeFactory implements
+			NodeFactory<MyMultiNode> {
+		int instances = 0;
+
+		public MyMultiNode newInstance(String id, Graph graph) {
+			instances++;
+			return new MyMultiNode(graph, id);
+		}
+	}
+
+	protected static class CountingMultiEdgeFactory implements
+			EdgeFactory<MyMultiEdge> {
+		int instances = 0;
+
+		public MyMultiEdge newInstance(String id, Node src, Node dst,
+				boolean directed) {
+			instances++;
+			return new MyMultiEdge(id, src, dst, directed);
+		}
+	}
+
+	@Test
+	public void checkFactoryInstances() {
+		// Factories are called at most once per element, and the graph
+		// always gives back the same object for a given element, whatever
+		// the way it is accessed.
+
+		Graph g = new MultiGraph("g");
+		CountingMultiNodeFactory nodeFactory = new CountingMultiNodeFactory();
+		CountingMultiEdgeFactory edgeFactory = new CountingMultiEdgeFactory();
+
+		g.setNodeFactory(nodeFactory);
+		g.setEdgeFactory(edgeFactory);
+
+		for (int i = 0; i < 100; i++) {
+			g.addNode(String.format("%d", i));
+
+			if (i > 0)
+				g.addEdge(String.format("%d_%d", i - 1, i), String.format(
+						"%d", i - 1), String.format("%d", i));
+		}
+
+		for (int i = 0; i < 100; i++) {
+			MyMultiNode node = g.getNode(String.format("%d", i));
+
+			assertSame(node, g.getNode(String.format("%d", i)));
+			assertSame(node, g.getNode(node.getIndex()));
+
+			if (i > 0) {
+				MyMultiEdge edge = g.getEdge(String.format("%d_%d", i - 1, i));
+
+				assertSame(edge, g.getEdge(String.format("%d_%d", i - 1, i)));
+				assertSame(node, edge.getTargetNode());
+				assertSame(edge, node.getEdgeFrom(String.format("%d", i - 1)));
+			}
+		}
+
+		for (Node node : g)
+			assertSame(node, g.getNode(node.getId()));
+
+		assertEquals(100, nodeFactory.instances);
+		assertEquals(99, edgeFactory.instances);
+	}
+
 	static class TestAddRemoveNode<A extends Node> {
 		@SuppressWarnings("unused")
 		TestAddRemoveNode(Graph g) {
@@ -41,6 +41,7 @@ import org.graphstream.graph.implementations.AdjacencyListGraph;
 import org.graphstream.graph.implementations.MultiGraph;
 import org.graphstream.graph.implementations.MultiNode;
 import org.graphstream.graph.implementations.SingleGraph;
+import org.graphstream.stream.SinkAdapter;
 import org.junit.Test;
 
 public class TestGraph {
@@ -60,6 +61,38 @@ public class TestGraph {
 		Edge BC = graph.addEdge("BC", "B", "C");
 		Edge CA = graph.addEdge("CA", "C", "A");
 
+		assertNotNull(A);
+		assertNotNull(B);
+		assertNotNull(C);
+		assertNotNull(AB);
+		assertNotNull(BC);
+		assertNotNull(CA);
+
+		assertEquals(A, graph.getNode("A"));
+		assertEquals(B, graph.getNode("B"));
+		assertEquals(C, graph.getNode("C"));
+		assertEquals(AB, graph.getEdge("AB"));
+		assertEquals(BC, graph.getEdge("BC"));
+		assertEquals(CA, graph.getEdge("CA"));
+
+		checkBasic(graph);
+	}
+
+	/**
+	 * Check the triangle A-B-C built by {@link #testBasic(Graph)} using only
+	 * read-only accessors. This way graph implementations that cannot be
+	 * modified (e.g. loaded from a snapshot) can be checked with the same
+	 * assertions, as long as they contain the same triangle.
+	 */
+	protected void checkBasic(Graph graph) {
+		Node A = graph.getNode("A");
+		Node B = graph.getNode("B");
+		Node C = graph.getNode("C");
+
+		Edge AB = graph.getEdge("AB");
+		Edge BC = graph.getEdge("BC");
+		Edge CA = graph.getEdge("CA");
+
 		assertEquals(3, graph.getNodeCount());
 		assertEquals(3, graph.getEdgeCount());
 
@@ -77,13 +110,6 @@ public class TestGraph {
 		assertEquals("BC", BC.getId());
 		assertEquals("CA", CA.getId());
 
-		assertEquals(A, graph.getNode("A"));
-		assertEquals(B, graph.getNode("B"));
-		assertEquals(C, graph.getNode("C"));
-		assertEquals(AB, graph.getEdge("AB"));
-		assertEquals(BC, graph.getEdge("BC"));
-		assertEquals(CA, graph.getEdge("CA"));
-
 		assertFalse(AB.isDirected());
 		assertFalse(BC.isDirected());
 		assertFalse(CA.isDirected());
@@ -301,6 +327,81 @@ public class TestGraph {
 		Edge BC = graph.addEdge("BC", "B", "C");
 		Edge CA = graph.addEdge("CA", "C", "A");
 
+		checkIterables(graph);
+
+		HashSet<Edge> edges = new HashSet<Edge>();
+
+		graph.removeEdge("AB");
+		AB = graph.addEdge("AB", "A", "B", true);
+		
+		graph.removeEdge("BC");
+		BC = graph.addEdge("BC", "B", "C", true);
+		
+		// A
+		// |\
+		// | \
+		// | \
+		// v \
+		// B--->C
+
+		for (Edge edge : A.getEnteringEdgeSet())
+			edges.add(edge);
+
+		assertEquals(1, edges.size());
+		assertTrue(edges.contains(CA));
+		edges.clear();
+
+		for (Edge edge : B.getEnteringEdgeSet())
+			edges.add(edge);
+
+		assertEquals(1, edges.size());
+		assertTrue(edges.contains(AB));
+		edges.clear();
+
+		for (Edge edge : C.getEnteringEdgeSet())
+			edges.add(edge);
+
+		assertEquals(2, edges.size());
+		assertTrue(edges.contains(BC));
+		assertTrue(edges.contains(CA));
+		edges.clear();
+
+		for (Edge edge : A.getLeavingEdgeSet())
+			edges.add(edge);
+
+		assertEquals(2, edges.size());
+		assertTrue(edges.contains(AB));
+		assertTrue(edges.contains(CA));
+		edges.clear();
+
+		for (Edge edge : B.getLeavingEdgeSet())
+			edges.add(edge);
+
+		assertEquals(1, edges.size());
+		assertTrue(edges.contains(BC));
+		edges.clear();
+
+		for (Edge edge : C.getLeavingEdgeSet())
+			edges.add(edge);
+
+		assertEquals(1, edges.size());
+		assertTrue(edges.contains(CA));
+		edges.clear();
+	}
+
+	/**
+	 * Check the iterables of the undirected triangle A-B-C built by
+	 * {@link #testIterables(Graph)} using only read-only accessors.
+	 */
+	protected void checkIterables(Graph graph) {
+		Node A = graph.getNode("A");
+		Node B = graph.getNode("B");
+		Node C = graph.getNode("C");
+
+		Edge AB = graph.getEdge("AB");
+		Edge BC = graph.getEdge("BC");
+		Edge CA = graph.getEdge("CA");
+
 		// Test graph iterables.
 
 		HashSet<Node> nodes = new HashSet<Node>();
@@ -366,63 +467,6 @@ public class TestGraph {
 		assertTrue(edges.contains(BC));
 		assertTrue(edges.contains(CA));
 		edges.clear();
-
-		graph.removeEdge("AB");
-		AB = graph.addEdge("AB", "A", "B", true);
-		
-		graph.removeEdge("BC");
-		BC = graph.addEdge("BC", "B", "C", true);
-		
-		// A
-		// |\
-		// | \
-		// | \
-		// v \
-		// B--->C
-
-		for (Edge edge : A.getEnteringEdgeSet())
-			edges.add(edge);
-
-		assertEquals(1, edges.size());
-		assertTrue(edges.contains(CA));
-		edges.clear();
-
-		for (Edge edge : B.getEnteringEdgeSet())
-			edges.add(edge);
-
-		assertEquals(1, edges.size());
-		assertTrue(edges.contains(AB));
-		edges.clear();
-
-		for (Edge edge : C.getEnteringEdgeSet())
-			edges.add(edge);
-
-		assertEquals(2, edges.size());
-		assertTrue(edges.contains(BC));
-		assertTrue(edges.contains(CA));
-		edges.clear();
-
-		for (Edge edge : A.getLeavingEdgeSet())
-			edges.add(edge);
-
-		assertEquals(2, edges.size());
-		assertTrue(edges.contains(AB));
-		assertTrue(edges.contains(CA));
-		edges.clear();
-
-		for (Edge edge : B.getLeavingEdgeSet())
-			edges.add(edge);
-
-		assertEquals(1, edges.size());
-		assertTrue(edges.contains(BC));
-		edges.clear();
-
-		for (Edge edge : C.getLeavingEdgeSet())
-			edges.add(edge);
-
-		assertEquals(1, edges.size());
-		assertTrue(edges.contains(CA));
-		edges.clear();
 	}
 
 	@Test
@@ -573,4 +617,259 @@ public class TestGraph {
 		assertEquals("truc", BC.getAttribute("foo"));
 		assertEquals("truc", output.getEdge("BC").getAttribute("foo"));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testIndices() {
+		testIndices(new SingleGraph("sg"));
+		testIndices(new MultiGraph("mg"));
+		// testIndices( new AdjacencyListGraph( "alg" ) );
+	}
+
+	protected void testIndices(Graph graph) {
+		// Indices are dense : nodes and edges are numbered from 0 to
+		// count-1, even after removals, and each index gives back the
+		// element having it.
+
+		for (int i = 0; i < 10; i++)
+			graph.addNode(String.format("%d", i));
+
+		for (int i = 0; i < 10; i++)
+			graph.addEdge(String.format("%d_%d", i, (i + 1) % 10), String
+					.format("%d", i), String.format("%d", (i + 1) % 10));
+
+		checkIndices(graph);
+
+		graph.removeNode("0");
+		graph.removeNode("5");
+		graph.removeEdge("2_3");
+
+		assertEquals(8, graph.getNodeCount());
+		assertEquals(5, graph.getEdgeCount());
+		checkIndices(graph);
+
+		// Index based methods.
+
+		Node n1 = graph.getNode("1");
+		Node n2 = graph.getNode("2");
+		Edge e12 = graph.getEdge("1_2");
+
+		assertEquals(e12, n1.getEdgeBetween(n2.getIndex()));
+		assertTrue(n2.hasEdgeBetween(n1.getIndex()));
+		assertFalse(n1.hasEdgeBetween(graph.getNode("3").getIndex()));
+
+		graph.removeEdge(e12.getIndex());
+
+		assertNull(graph.getEdge("1_2"));
+		assertFalse(n1.hasEdgeBetween(n2.getIndex()));
+
+		graph.addEdge("1_2", n1.getIndex(), n2.getIndex());
+
+		assertNotNull(graph.getEdge("1_2"));
+		assertEquals(graph.getEdge("1_2"), n2.getEdgeBetween(n1.getIndex()));
+		checkIndices(graph);
+	}
+
+	protected void checkIndices(Graph graph) {
+		HashSet<Integer> indices = new HashSet<Integer>();
+
+		for (Node node : graph) {
+			assertTrue(node.getIndex() >= 0);
+			assertTrue(node.getIndex() < graph.getNodeCount());
+			assertEquals(node, graph.getNode(node.getIndex()));
+			indices.add(node.getIndex());
+		}
+
+		assertEquals(graph.getNodeCount(), indices.size());
+		indices.clear();
+
+		for (Edge edge : graph.getEachEdge()) {
+			assertTrue(edge.getIndex() >= 0);
+			assertTrue(edge.getIndex() < graph.getEdgeCount());
+			assertEquals(edge, graph.getEdge(edge.getIndex()));
+			indices.add(edge.getIndex());
+		}
+
+		assertEquals(graph.getEdgeCount(), indices.size());
+	}
+
+	@Test
+	public void testIndexIteration() {
+		testIndexIteration(new SingleGraph("sg"));
+		testIndexIteration(new MultiGraph("mg"));
+		// testIndexIteration( new AdjacencyListGraph( "alg" ) );
+	}
+
+	protected void testIndexIteration(Graph graph) {
+		// Walking the graph with indices must give the same elements as
+		// the iterators.
+
+		for (int i = 0; i < 10; i++)
+			graph.addNode(String.format("%d", i));
+
+		for (int i = 0; i < 10; i++) {
+			graph.addEdge(String.format("%d_%d", i, (i + 1) % 10), String
+					.format("%d", i), String.format("%d", (i + 1) % 10));
+			graph.addEdge(String.format("%d_%d", i, (i + 3) % 10), String
+					.format("%d", i), String.format("%d", (i + 3) % 10), true);
+		}
+
+		graph.removeNode("4");
+
+		HashSet<Node> nodes = new HashSet<Node>();
+		HashSet<Edge> edges = new HashSet<Edge>();
+
+		for (int i = 0; i < graph.getNodeCount(); i++)
+			nodes.add(graph.getNode(i));
+
+		assertEquals(graph.getNodeCount(), nodes.size());
+
+		for (Node node : graph)
+			assertTrue(nodes.contains(node));
+
+		for (int i = 0; i < graph.getEdgeCount(); i++)
+			edges.add(graph.getEdge(i));
+
+		assertEquals(graph.getEdgeCount(), edges.size());
+
+		for (Edge edge : graph.getEachEdge())
+			assertTrue(edges.contains(edge));
+
+		for (Node node : graph) {
+			edges.clear();
+
+			for (int i = 0; i < node.getDegree(); i++)
+				edges.add(node.getEdge(i));
+
+			assertEquals(node.getDegree(), edges.size());
+
+			for (Edge edge : node.getEdgeSet())
+				assertTrue(edges.contains(edge));
+		}
+	}
+
+	@Test
+	public void testHighDegree() {
+		testHighDegree(new SingleGraph("sg"));
+		testHighDegree(new MultiGraph("mg"));
+	}
+
+	protected void testHighDegree(Graph graph) {
+		// A hub tied to a lot of nodes. Edges toward even nodes are
+		// undirected, edges toward multiples of 3 are directed from the
+		// hub, others are directed toward the hub.
+
+		int n = 2000;
+		Node hub = graph.addNode("hub");
+
+		for (int i = 0; i < n; i++) {
+			String id = String.format("%d", i);
+			graph.addNode(id);
+
+			if (i % 2 == 0)
+				graph.addEdge(id, "hub", id);
+			else if (i % 3 == 0)
+				graph.addEdge(id, "hub", id, true);
+			else
+				graph.addEdge(id, id, "hub", true);
+		}
+
+		assertEquals(n, hub.getDegree());
+		checkHighDegree(graph, hub, n);
+
+		// Remove half of the edges, the lookups must still be exact.
+
+		for (int i = 0; i < n; i += 4)
+			graph.removeEdge(String.format("%d", i));
+		for (int i = 1; i < n; i += 4)
+			graph.removeEdge(String.format("%d", i));
+
+		assertEquals(n / 2, hub.getDegree());
+		checkHighDegree(graph, hub, n);
+	}
+
+	protected void checkHighDegree(Graph graph, Node hub, int n) {
+		for (int i = 0; i < n; i++) {
+			String id = String.format("%d", i);
+			Edge edge = graph.getEdge(id);
+
+			if (edge == null) {
+				assertFalse(hub.hasEdgeToward(id));
+				assertFalse(hub.hasEdgeFrom(id));
+				assertNull(hub.getEdgeToward(id));
+				assertNull(hub.getEdgeFrom(id));
+			} else if (i % 2 == 0) {
+				assertEquals(edge, hub.getEdgeToward(id));
+				assertEquals(edge, hub.getEdgeFrom(id));
+			} else if (i % 3 == 0) {
+				assertEquals(edge, hub.getEdgeToward(id));
+				assertNull(hub.getEdgeFrom(id));
+				assertEquals(edge, graph.getNode(id).getEdgeFrom("hub"));
+			} else {
+				assertNull(hub.getEdgeToward(id));
+				assertEquals(edge, hub.getEdgeFrom(id));
+				assertEquals(edge, graph.getNode(id).getEdgeToward("hub"));
+			}
+		}
+	}
+
+	@Test
+	public void testHubRemoval() {
+		testHubRemoval(new SingleGraph("sg"));
+		testHubRemoval(new MultiGraph("mg"));
+	}
+
+	protected void testHubRemoval(Graph graph) {
+		// Removing a node sends one "edge removed" event per incident edge,
+		// all of them before the "node removed" event.
+
+		final HashSet<String> removedEdges = new HashSet<String>();
+		final HashSet<String> edgesBeforeNode = new HashSet<String>();
+		Graph output = new MultiGraph("output");
+		int n = 1000;
+
+		graph.addSink(output);
+		graph.addNode("hub");
+
+		for (int i = 0; i < n; i++) {
+			String id = String.format("%d", i);
+			graph.addNode(id);
+			graph.addEdge(id, "hub", id, i % 2 == 0);
+
+			if (i > 0)
+				graph.addEdge(String.format("%d_%d", i - 1, i), String.format(
+						"%d", i - 1), id);
+		}
+
+		assertEquals(n + 1, output.getNodeCount());
+		assertEquals(2 * n - 1, output.getEdgeCount());
+		assertNotNull(output.getNode("hub"));
+		assertEquals(n, output.getNode("hub").getDegree());
+
+		graph.addSink(new SinkAdapter() {
+			public void edgeRemoved(String sourceId, long timeId, String edgeId) {
+				assertTrue(removedEdges.add(edgeId));
+			}
+
+			public void nodeRemoved(String sourceId, long timeId, String nodeId) {
+				edgesBeforeNode.addAll(removedEdges);
+			}
+		});
+
+		graph.removeNode("hub");
+
+		assertEquals(n, removedEdges.size());
+		assertEquals(n, edgesBeforeNode.size());
+
+		for (int i = 0; i < n; i++)
+			assertTrue(removedEdges.contains(String.format("%d", i)));
+
+		assertEquals(n, graph.getNodeCount());
+		assertEquals(n - 1, graph.getEdgeCount());
+		assertEquals(n, output.getNodeCount());
+		assertEquals(n - 1, output.getEdgeCount());
+		assertNull(output.getNode("hub"));
+
+		for (Node node : graph)
+			assertTrue(node.getDegree() <= 2);
+	}
+}
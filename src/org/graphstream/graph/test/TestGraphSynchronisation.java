@@ -32,7 +32,11 @@ package org.graphstream.graph.test;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Random;
+
 import org.graphstream.graph.Graph;
+import org.graphstream.graph.Node;
 import org.graphstream.graph.implementations.AdjacencyListGraph;
 import org.graphstream.graph.implementations.MultiGraph;
 import org.graphstream.graph.implementations.SingleGraph;
@@ -329,4 +333,82 @@ public class TestGraphSynchronisation {
 		assertNull(g2.getEdge("CA"));
 		assertNull(g3.getEdge("CA"));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testGraphSyncMesh() {
+		// Stress test with a ring of graphs where each graph also sends its
+		// events to the graph two steps further. Each event therefore reaches
+		// most graphs by several paths.
+		//
+		// g1 --> g2 --> g3 --> g4 --> g5 --> g1
+		// g1 --> g3, g2 --> g4, g3 --> g5, g4 --> g1, g5 --> g2
+
+		testGraphSyncMesh(new MultiGraph("g1"), new MultiGraph("g2"),
+				new MultiGraph("g3"), new MultiGraph("g4"), new MultiGraph(
+						"g5"));
+		testGraphSyncMesh(new SingleGraph("g1"), new SingleGraph("g2"),
+				new SingleGraph("g3"), new SingleGraph("g4"), new SingleGraph(
+						"g5"));
+		testGraphSyncMesh(new MultiGraph("g1"), new SingleGraph("g2"),
+				new AdjacencyListGraph("g3"), new MultiGraph("g4"),
+				new SingleGraph("g5"));
+	}
+
+	protected void testGraphSyncMesh(Graph... graphs) {
+		int n = graphs.length;
+		Random random = new Random(1);
+		ArrayList<String> nodes = new ArrayList<String>();
+
+		for (int i = 0; i < n; i++) {
+			graphs[i].addSink(graphs[(i + 1) % n]);
+			graphs[i].addSink(graphs[(i + 2) % n]);
+		}
+
+		// Random modifications, each one made on a random graph of the
+		// mesh.
+
+		for (int step = 0; step < 500; step++) {
+			Graph g = graphs[random.nextInt(n)];
+			int what = nodes.size() < 10 ? 0 : random.nextInt(10);
+
+			if (what < 3) {
+				String id = String.format("N%d", step);
+				g.addNode(id);
+				nodes.add(id);
+			} else if (what < 6) {
+				String id0 = nodes.get(random.nextInt(nodes.size()));
+				String id1 = nodes.get(random.nextInt(nodes.size()));
+
+				if (!id0.equals(id1) && !g.getNode(id0).hasEdgeBetween(id1))
+					g.addEdge(String.format("E%d", step), id0, id1,
+							random.nextBoolean());
+			} else if (what < 9) {
+				String id = nodes.get(random.nextInt(nodes.size()));
+				g.getNode(id).setAttribute("foo", step);
+			} else {
+				g.removeNode(nodes.remove(random.nextInt(nodes.size())));
+			}
+
+			for (Graph other : graphs) {
+				assertEquals(g.getNodeCount(), other.getNodeCount());
+				assertEquals(g.getEdgeCount(), other.getEdgeCount());
+			}
+		}
+
+		// All graphs must have converged toward the same state.
+
+		for (Graph g : graphs) {
+			assertEquals(nodes.size(), g.getNodeCount());
+
+			for (Node node : graphs[0]) {
+				Node other = g.getNode(node.getId());
+
+				assertNotNull(other);
+				assertEquals(node.getDegree(), other.getDegree());
+
+				Object value = node.getAttribute("foo");
+				assertEquals(value, other.getAttribute("foo"));
+			}
+		}
+	}
+}
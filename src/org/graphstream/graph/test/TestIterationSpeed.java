@@ -0,0 +1,143 @@
+/*
+ * Copyright 2006 - 2011 
+ *     Julien Baudry	<julien.baudry@graphstream-project.org>
+ *     Antoine Dutot	<antoine.dutot@graphstream-project.org>
+ *     Yoann Pigné		<yoann.pigne@graphstream-project.org>
+ *     Guilhelm Savin	<guilhelm.savin@graphstream-project.org>
+ * 
+ * This file is part of GraphStream <http://graphstream-project.org>.
+ * 
+ * GraphStream is a library whose purpose is to handle static or dynamic
+ * graph, create them from scratch, file or any source and display them.
+ * 
+ * This program is free software distributed under the terms of two licenses, the
+ * CeCILL-C license that fits European law, and the GNU Lesser General Public
+ * License. You can  use, modify and/ or redistribute the software under the terms
+ * of the CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+ * URL <http://www.cecill.info> or under the terms of the GNU LGPL as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C and LGPL licenses and that you accept their terms.
+ */
+package org.graphstream.graph.test;
+
+import java.util.Iterator;
+
+import org.graphstream.algorithm.generator.GridGenerator;
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.Graph;
+import org.graphstream.graph.Node;
+import org.graphstream.graph.implementations.AdjacencyListGraph;
+import org.graphstream.graph.implementations.MultiGraph;
+import org.graphstream.graph.implementations.SingleGraph;
+
+/**
+ * A speed test of the ways to walk the graph.
+ * 
+ * <p>
+ * A grid graph is generated in each graph implementation, then all the edges
+ * of all the nodes are visited several times, using the iterables, the
+ * iterators and the indices. The time spent by each way is printed by a
+ * {@link SpeedRuns}.
+ * </p>
+ */
+public class TestIterationSpeed {
+	public static void main(String args[]) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		TestIterationSpeed test = new TestIterationSpeed();
+
+		test.test(new SingleGraph("sg"), size, runs);
+		test.test(new MultiGraph("mg"), size, runs);
+		test.test(new AdjacencyListGraph("alg"), size, runs);
+	}
+
+	public void test(final Graph graph, int size, final int runs) {
+		Generate.generate(graph, new GridGenerator(), size);
+
+		System.out.printf("%s (%d nodes, %d edges):%n", graph.getClass()
+				.getSimpleName(), graph.getNodeCount(), graph.getEdgeCount());
+
+		SpeedRuns speed = new SpeedRuns();
+
+		speed.add("iterables", new SpeedRuns.Run() {
+			public int run() {
+				int visited = 0;
+				for (int r = 0; r < runs; r++)
+					visited += iterables(graph);
+				return visited;
+			}
+		});
+		speed.add("iterators", new SpeedRuns.Run() {
+			public int run() {
+				int visited = 0;
+				for (int r = 0; r < runs; r++)
+					visited += iterators(graph);
+				return visited;
+			}
+		});
+		speed.add("indices", new SpeedRuns.Run() {
+			public int run() {
+				int visited = 0;
+				for (int r = 0; r < runs; r++)
+					visited += indices(graph);
+				return visited;
+			}
+		});
+
+		int visited[] = speed.print();
+
+		if (visited[0] != visited[1] || visited[1] != visited[2])
+			throw new RuntimeException("walks do not visit the same edges");
+	}
+
+	protected int iterables(Graph graph) {
+		int visited = 0;
+
+		for (Node node : graph)
+			for (Edge edge : node.getEdgeSet())
+				visited += edge.getOpposite(node) != null ? 1 : 0;
+
+		return visited;
+	}
+
+	protected int iterators(Graph graph) {
+		int visited = 0;
+		Iterator<? extends Node> nodes = graph.getNodeIterator();
+
+		while (nodes.hasNext()) {
+			Node node = nodes.next();
+			Iterator<? extends Edge> edges = node.getEdgeIterator();
+
+			while (edges.hasNext())
+				visited += edges.next().getOpposite(node) != null ? 1 : 0;
+		}
+
+		return visited;
+	}
+
+	protected int indices(Graph graph) {
+		int visited = 0;
+		int n = graph.getNodeCount();
+
+		for (int i = 0; i < n; i++) {
+			Node node = graph.getNode(i);
+			int d = node.getDegree();
+
+			for (int j = 0; j < d; j++)
+				visited += node.getEdge(j).getOpposite(node) != null ? 1 : 0;
+		}
+
+		return visited;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2006 - 2011 
+ *     Julien Baudry	<julien.baudry@graphstream-project.org>
+ *     Antoine Dutot	<antoine.dutot@graphstream-project.org>
+ *     Yoann Pigné		<yoann.pigne@graphstream-project.org>
+ *     Guilhelm Savin	<guilhelm.savin@graphstream-project.org>
+ * 
+ * This file is part of GraphStream <http://graphstream-project.org>.
+ * 
+ * GraphStream is a library whose purpose is to handle static or dynamic
+ * graph, create them from scratch, file or any source and display them.
+ * 
+ * This program is free software distributed under the terms of two licenses, the
+ * CeCILL-C license that fits European law, and the GNU Lesser General Public
+ * License. You can  use, modify and/ or redistribute the software under the terms
+ * of the CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+ * URL <http://www.cecill.info> or under the terms of the GNU LGPL as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C and LGPL licenses and that you accept their terms.
+ */
+package org.graphstream.graph.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+
+import org.graphstream.algorithm.generator.BarabasiAlbertGenerator;
+import org.graphstream.graph.Graph;
+import org.graphstream.graph.Node;
+import org.graphstream.graph.implementations.AdjacencyListGraph;
+import org.graphstream.graph.implementations.MultiGraph;
+import org.graphstream.graph.implementations.SingleGraph;
+
+/**
+ * A speed test of node removal.
+ * 
+ * <p>
+ * A preferential attachment graph is generated in each graph implementation,
+ * then its nodes are removed by decreasing degree, so that the first removals
+ * are the ones of the hubs. The time spent to remove the hubs and then the
+ * remaining nodes is printed.
+ * </p>
+ */
+public class TestRemovalSpeed {
+	public static void main(String args[]) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int hubs = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+		TestRemovalSpeed test = new TestRemovalSpeed();
+
+		test.test(new SingleGraph("sg"), size, hubs);
+		test.test(new MultiGraph("mg"), size, hubs);
+		test.test(new AdjacencyListGraph("alg"), size, hubs);
+	}
+
+	public void test(Graph graph, int size, int hubs) {
+		Generate.generate(graph, new BarabasiAlbertGenerator(3), size);
+
+		ArrayList<Node> nodes = new ArrayList<Node>();
+
+		for (Node node : graph)
+			nodes.add(node);
+
+		Collections.sort(nodes, new Comparator<Node>() {
+			public int compare(Node n1, Node n2) {
+				return n2.getDegree() - n1.getDegree();
+			}
+		});
+
+		System.out.printf("%s (%d nodes, %d edges, max degree %d):%n", graph
+				.getClass().getSimpleName(), graph.getNodeCount(), graph
+				.getEdgeCount(), nodes.get(0).getDegree());
+
+		long t1 = System.currentTimeMillis();
+
+		for (int i = 0; i < hubs && i < nodes.size(); i++)
+			graph.removeNode(nodes.get(i).getId());
+
+		long t2 = System.currentTimeMillis();
+
+		for (int i = hubs; i < nodes.size(); i++)
+			graph.removeNode(nodes.get(i).getId());
+
+		long t3 = System.currentTimeMillis();
+
+		System.out.printf("    %d hubs   %5d ms%n", hubs, t2 - t1);
+		System.out.printf("    others     %5d ms%n", t3 - t2);
+	}
+}
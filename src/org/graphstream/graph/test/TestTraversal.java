@@ -0,0 +1,297 @@
+/*
+ * Copyright 2006 - 2011 
+ *     Julien Baudry	<julien.baudry@graphstream-project.org>
+ *     Antoine Dutot	<antoine.dutot@graphstream-project.org>
+ *     Yoann Pigné		<yoann.pigne@graphstream-project.org>
+ *     Guilhelm Savin	<guilhelm.savin@graphstream-project.org>
+ * 
+ * This file is part of GraphStream <http://graphstream-project.org>.
+ * 
+ * GraphStream is a library whose purpose is to handle static or dynamic
+ * graph, create them from scratch, file or any source and display them.
+ * 
+ * This program is free software distributed under the terms of two licenses, the
+ * CeCILL-C license that fits European law, and the GNU Lesser General Public
+ * License. You can  use, modify and/ or redistribute the software under the terms
+ * of the CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+ * URL <http://www.cecill.info> or under the terms of the GNU LGPL as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C and LGPL licenses and that you accept their terms.
+ */
+package org.graphstream.graph.test;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.graphstream.algorithm.generator.BarabasiAlbertGenerator;
+import org.graphstream.algorithm.generator.GridGenerator;
+import org.graphstream.graph.Graph;
+import org.graphstream.graph.Node;
+import org.graphstream.graph.implementations.MultiGraph;
+import org.graphstream.graph.implementations.SingleGraph;
+import org.junit.Test;
+
+/**
+ * Test the traversals of the graph provided by the nodes.
+ * 
+ * <p>
+ * The iterators are compared to simple traversals made using the node and
+ * edge indices and arrays. Run as a program, this class uses a
+ * {@link SpeedRuns} to print the time spent by the iterators and by the array
+ * based traversals on large graphs.
+ * </p>
+ */
+public class TestTraversal {
+	public static void main(String args[]) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		TestTraversal test = new TestTraversal();
+
+		test.benchTraversals(Generate.generate(new SingleGraph("grid"),
+				new GridGenerator(), size));
+		test.benchTraversals(Generate.generate(new SingleGraph("ba"),
+				new BarabasiAlbertGenerator(3), size * size));
+	}
+
+	@Test
+	public void testBreadthFirstGrid() {
+		testBreadthFirst(Generate.generate(new SingleGraph("sg"),
+				new GridGenerator(), 20));
+		testBreadthFirst(Generate.generate(new MultiGraph("mg"),
+				new GridGenerator(), 20));
+	}
+
+	@Test
+	public void testBreadthFirstBarabasiAlbert() {
+		testBreadthFirst(Generate.generate(new SingleGraph("sg"),
+				new BarabasiAlbertGenerator(3), 1000));
+		testBreadthFirst(Generate.generate(new MultiGraph("mg"),
+				new BarabasiAlbertGenerator(3), 1000));
+	}
+
+	protected void testBreadthFirst(Graph graph) {
+		Node root = graph.getNode(0);
+		int depths[] = breadthFirst(graph, root.getIndex());
+		boolean visited[] = new boolean[graph.getNodeCount()];
+		Iterator<? extends Node> nodes = root.getBreadthFirstIterator();
+		int count = 0;
+		int depth = 0;
+
+		// Each node is visited once, by increasing distance to the root.
+
+		while (nodes.hasNext()) {
+			Node node = nodes.next();
+
+			assertFalse(visited[node.getIndex()]);
+			assertTrue(depths[node.getIndex()] >= depth);
+
+			visited[node.getIndex()] = true;
+			depth = depths[node.getIndex()];
+			count++;
+		}
+
+		assertEquals(graph.getNodeCount(), count);
+	}
+
+	@Test
+	public void testDepthFirstGrid() {
+		testDepthFirst(Generate.generate(new SingleGraph("sg"),
+				new GridGenerator(), 20));
+		testDepthFirst(Generate.generate(new MultiGraph("mg"),
+				new GridGenerator(), 20));
+	}
+
+	@Test
+	public void testDepthFirstChain() {
+		// A very deep graph, the traversals must not use the call stack.
+
+		Graph graph = new SingleGraph("chain");
+		int n = 100000;
+
+		graph.addNode("0");
+
+		for (int i = 1; i < n; i++) {
+			graph.addNode(String.format("%d", i));
+			graph.addEdge(String.format("%d", i), String.format("%d", i - 1),
+					String.format("%d", i));
+		}
+
+		Iterator<? extends Node> nodes = graph.getNode("0")
+				.getDepthFirstIterator();
+		int i = 0;
+
+		while (nodes.hasNext())
+			assertEquals(String.format("%d", i++), nodes.next().getId());
+
+		assertEquals(n, i);
+
+		int order[] = depthFirst(graph, graph.getNode("0").getIndex());
+
+		for (i = 0; i < n; i++)
+			assertEquals(String.format("%d", i), graph.getNode(order[i])
+					.getId());
+
+		testDepthFirst(graph);
+	}
+
+	protected void testDepthFirst(Graph graph) {
+		Node root = graph.getNode(0);
+		boolean visited[] = new boolean[graph.getNodeCount()];
+		Iterator<? extends Node> nodes = root.getDepthFirstIterator();
+		int count = 0;
+
+		// Each node is visited once, and each node but the root is reached
+		// from an already visited node.
+
+		while (nodes.hasNext()) {
+			Node node = nodes.next();
+
+			assertFalse(visited[node.getIndex()]);
+
+			if (node != root) {
+				boolean reached = false;
+
+				for (int i = 0; i < node.getDegree() && !reached; i++)
+					reached = visited[node.getEdge(i).getOpposite(node)
+							.getIndex()];
+
+				assertTrue(reached);
+			}
+
+			visited[node.getIndex()] = true;
+			count++;
+		}
+
+		assertEquals(graph.getNodeCount(), count);
+		assertEquals(graph.getNodeCount(),
+				depthFirst(graph, root.getIndex()).length);
+	}
+
+	/**
+	 * Indices of the nodes reachable from a root node, in depth-first order.
+	 * The visited nodes are marked in a bit set, and the path from the root is
+	 * kept in an explicit stack of node indices along with the rank of the
+	 * next edge to follow in each node.
+	 */
+	protected int[] depthFirst(Graph graph, int root) {
+		int n = graph.getNodeCount();
+		long visited[] = new long[(n + 63) >> 6];
+		int stack[] = new int[n];
+		int next[] = new int[n];
+		int order[] = new int[n];
+		int top = 0;
+		int count = 0;
+
+		visited[root >> 6] |= 1L << (root & 63);
+		order[count++] = root;
+		stack[top++] = root;
+
+		while (top > 0) {
+			int current = stack[top - 1];
+			Node node = graph.getNode(current);
+
+			if (next[current] < node.getDegree()) {
+				int other = node.getEdge(next[current]++).getOpposite(node)
+						.getIndex();
+
+				if ((visited[other >> 6] & (1L << (other & 63))) == 0) {
+					visited[other >> 6] |= 1L << (other & 63);
+					order[count++] = other;
+					stack[top++] = other;
+				}
+			} else {
+				top--;
+			}
+		}
+
+		return Arrays.copyOf(order, count);
+	}
+
+	/**
+	 * Hop distance of each node to a root node, the nodes being identified by
+	 * their index. Unreachable nodes have a distance of -1.
+	 */
+	protected int[] breadthFirst(Graph graph, int root) {
+		int n = graph.getNodeCount();
+		int depths[] = new int[n];
+		int queue[] = new int[n];
+		int head = 0;
+		int tail = 0;
+
+		Arrays.fill(depths, -1);
+		depths[root] = 0;
+		queue[tail++] = root;
+
+		while (head < tail) {
+			Node node = graph.getNode(queue[head++]);
+			int d = node.getDegree();
+
+			for (int i = 0; i < d; i++) {
+				int other = node.getEdge(i).getOpposite(node).getIndex();
+
+				if (depths[other] < 0) {
+					depths[other] = depths[node.getIndex()] + 1;
+					queue[tail++] = other;
+				}
+			}
+		}
+
+		return depths;
+	}
+
+	public void benchTraversals(final Graph graph) {
+		final Node root = graph.getNode(0);
+		SpeedRuns speed = new SpeedRuns();
+
+		System.out.printf("%s (%d nodes, %d edges):%n", graph.getId(), graph
+				.getNodeCount(), graph.getEdgeCount());
+
+		speed.add("BFS iterator", new SpeedRuns.Run() {
+			public int run() {
+				return count(root.getBreadthFirstIterator());
+			}
+		});
+		speed.add("BFS arrays", new SpeedRuns.Run() {
+			public int run() {
+				int reached = 0;
+				for (int depth : breadthFirst(graph, root.getIndex()))
+					reached += depth >= 0 ? 1 : 0;
+				return reached;
+			}
+		});
+		speed.add("DFS iterator", new SpeedRuns.Run() {
+			public int run() {
+				return count(root.getDepthFirstIterator());
+			}
+		});
+		speed.add("DFS arrays", new SpeedRuns.Run() {
+			public int run() {
+				return depthFirst(graph, root.getIndex()).length;
+			}
+		});
+
+		speed.print();
+	}
+
+	protected int count(Iterator<? extends Node> nodes) {
+		int count = 0;
+
+		while (nodes.hasNext()) {
+			nodes.next();
+			count++;
+		}
+
+		return count;
+	}
+}
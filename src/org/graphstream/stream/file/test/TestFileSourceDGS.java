@@ -30,6 +30,12 @@
  */
 package org.graphstream.stream.file.test;
 
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+
 import org.graphstream.graph.implementations.MultiGraph;
 import org.graphstream.stream.file.FileSourceDGS;
 import org.junit.*;
@@ -76,6 +82,51 @@ public class TestFileSourceDGS extends TestFileSourceBase {
 			+ "an B aa:1,2,3,4 bb:foo cc:bar\n" + "an C aaa=1.234\n"
 			+ "ae AB A B\n" + "ae BC B C\n" + "ae CA C A\n";
 
+	protected static String TEST4_STEPS = "DGS004\n" + "\"test4\" 0 0\n"
+			+ "st 1\n" + "an A x:\"a\"\n" + "an B\n" + "ae AB A B\n"
+			+ "st 2\n" + "an C\n" + "ae BC B C\n" + "cn A x:\"b\"\n"
+			+ "st 3\n" + "de AB\n" + "dn B\n" + "cn A x:\"c\"\n";
+
+	@Test
+	public void test_Access_Steps() {
+		// Read a dynamic graph event by event, and remember the state of the
+		// graph at the end of each step.
+
+		HashMap<Double, Object[]> states = new HashMap<Double, Object[]>();
+
+		try {
+			input.addSink(graph);
+			input.begin(new StringReader(TEST4_STEPS));
+			while (input.nextEvents())
+				states.put(graph.getStep(), currentState());
+			input.end();
+			states.put(graph.getStep(), currentState());
+		} catch (IOException e) {
+			assertTrue("IOException, should not happen" + e.getMessage(), false);
+			e.printStackTrace();
+		}
+
+		Object step1[] = { 2, 1, "a" };
+		Object step2[] = { 3, 2, "b" };
+		Object step3[] = { 2, 0, "c" };
+
+		assertEquals(3, graph.getStep(), 0);
+		assertArrayEquals(step1, states.get(1.0));
+		assertArrayEquals(step2, states.get(2.0));
+		assertArrayEquals(step3, states.get(3.0));
+	}
+
+	protected Object[] currentState() {
+		Object x = null;
+
+		if (graph.getNode("A") != null)
+			x = graph.getNode("A").getAttribute("x");
+
+		Object state[] = { graph.getNodeCount(), graph.getEdgeCount(), x };
+
+		return state;
+	}
+
 	@Override
 	public String anUndirectedTriangleFileName() {
 		return "src/org/graphstream/stream/file/test/data/undirectedTriangle.dgs";
@@ -6,6 +6,16 @@ import org.graphstream.graph.Graph;
 import org.graphstream.graph.implementations.SingleGraph;
 import org.graphstream.stream.rmi.RMISink;
 
+/**
+ * Sends a graph to a {@link TestRMISource} through RMI.
+ * 
+ * <p>
+ * Start {@link TestRMISource} first. If a number of events is given as first
+ * argument, the same number must be given to {@link TestRMISource}. This
+ * program then sends that many attribute changes. The receiver prints the
+ * throughput once it has received all of them.
+ * </p>
+ */
 public class TestRMISink {
 	public static void main(String args[]) {
 		try {
@@ -18,7 +28,7 @@ public class TestRMISink {
 	public TestRMISink(String args[]) throws RemoteException {
 		RMISink sink = new RMISink();
 		
-		sink.bind("theSink");
+		sink.register(TestRMISource.SOURCE_URL);
 		sleep(5000);
 		
 		Graph graph = new SingleGraph("testRMI");
@@ -32,7 +42,20 @@ public class TestRMISink {
 		graph.addEdge("BC", "B", "C");
 		graph.addEdge("CA", "C", "A");
 		
-		sink.unregister("theSink");			
+		if(args.length > 0)
+			sendEvents(graph, Integer.parseInt(args[0]));
+		
+		sink.unregister(TestRMISource.SOURCE_URL);
+	}
+	
+	/**
+	 * Send a given number of attribute changes through the RMI sink, each one
+	 * being a remote call. The values go from 0 to events-1 so that the
+	 * receiver can check it got all of them.
+	 */
+	protected void sendEvents(Graph graph, int events) {
+		for(int i=0; i<events; i++)
+			graph.getNode("A").setAttribute("i", i);
 	}
 	
 	protected void sleep(long ms) {
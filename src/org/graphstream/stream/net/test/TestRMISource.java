@@ -5,9 +5,23 @@ import java.rmi.registry.LocateRegistry;
 
 import org.graphstream.graph.Graph;
 import org.graphstream.graph.implementations.SingleGraph;
+import org.graphstream.stream.SinkAdapter;
 import org.graphstream.stream.rmi.RMISource;
 
+/**
+ * Receives a graph sent by a {@link TestRMISink} through RMI.
+ * 
+ * <p>
+ * If a number of events is given as first argument, the attribute changes
+ * sent by {@link TestRMISink} are counted. Once all of them are received,
+ * the last value is checked and the number of events per second is printed.
+ * Each event costs one remote call, which gives a reference to compare other
+ * remote sinks with.
+ * </p>
+ */
 public class TestRMISource {
+	public static final String SOURCE_URL = "//localhost/theSource";
+	
 	public static void main(String args[]) {
 		try {
 			LocateRegistry.createRegistry(1099);
@@ -21,11 +35,61 @@ public class TestRMISource {
 	public TestRMISource(String args[]) throws RemoteException {
 		RMISource source = new RMISource();
 		
-		source.bind("theSink");
+		source.bind("theSource");
 		Graph graph = new SingleGraph("TestRMI");
 		
 		source.addSink(graph);
 		
+		if(args.length > 0)
+			source.addAttributeSink(new ThroughputSink(Integer.parseInt(args[0])));
+		
 		graph.display();
 	}
+	
+	/**
+	 * Counts the changes of the "i" attribute of node "A" and prints the
+	 * throughput when the expected number of changes has been received.
+	 */
+	protected static class ThroughputSink extends SinkAdapter {
+		protected int expected;
+		
+		protected int received = 0;
+		
+		protected long start;
+		
+		public ThroughputSink(int expected) {
+			this.expected = expected;
+		}
+		
+		public void nodeAttributeAdded(String sourceId, long timeId,
+				String nodeId, String attribute, Object value) {
+			received(nodeId, attribute, value);
+		}
+		
+		public void nodeAttributeChanged(String sourceId, long timeId,
+				String nodeId, String attribute, Object oldValue, Object newValue) {
+			received(nodeId, attribute, newValue);
+		}
+		
+		protected void received(String nodeId, String attribute, Object value) {
+			if(!nodeId.equals("A") || !attribute.equals("i"))
+				return;
+			
+			if(received == 0)
+				start = System.currentTimeMillis();
+			
+			received++;
+			
+			if(received == expected) {
+				long time = System.currentTimeMillis() - start;
+				
+				if(!value.equals(expected - 1)) {
+					System.err.printf("last value is %s, expected %d%n", value, expected - 1);
+				} else {
+					System.out.printf("%d events received in %d ms (%.1f events/s)%n",
+						received, time, received * 1000.0 / Math.max(1, time));
+				}
+			}
+		}
+	}
 }
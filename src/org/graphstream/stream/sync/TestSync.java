@@ -37,6 +37,13 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
 public class TestSync {
+	public static void main(String args[]) {
+		int sources = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+		int events = args.length > 1 ? Integer.parseInt(args[1]) : 10000000;
+
+		new TestSync().benchSync(sources, events);
+	}
+
 	/**
 	 * Used to access to disableSync.
 	 */
@@ -75,4 +82,116 @@ public class TestSync {
 			assertTrue(tst.isNewEvent(st.getSourceId(), timeId));
 		}
 	}
+
+	@Test
+	public void testSyncEcho() {
+		// Two sources, each one stamping its own events. This is what happens
+		// when two graphs (possibly in distinct threads or processes) are
+		// connected in both directions : events come back to their emitter
+		// with the original source and time identifiers and must be dropped,
+		// whatever the events of the other source received meanwhile.
+
+		TestSinkTime tst = new TestSinkTime();
+		SourceTime st1 = new SourceTime("test1");
+		SourceTime st2 = new SourceTime("test2");
+
+		if (tst.isSynchEnable()) {
+			long t1 = st1.newEvent();
+			long t2 = st2.newEvent();
+
+			assertTrue(tst.isNewEvent(st1.getSourceId(), t1));
+			assertTrue(tst.isNewEvent(st2.getSourceId(), t2));
+
+			// Echoes.
+
+			assertFalse(tst.isNewEvent(st2.getSourceId(), t2));
+			assertFalse(tst.isNewEvent(st1.getSourceId(), t1));
+
+			// New events of both sources still pass.
+
+			assertTrue(tst.isNewEvent(st2.getSourceId(), st2.newEvent()));
+			assertTrue(tst.isNewEvent(st1.getSourceId(), st1.newEvent()));
+		} else {
+			long t1 = st1.newEvent();
+			long t2 = st2.newEvent();
+
+			assertTrue(tst.isNewEvent(st1.getSourceId(), t1));
+			assertTrue(tst.isNewEvent(st2.getSourceId(), t2));
+
+			// Echoes are not detected.
+
+			assertTrue(tst.isNewEvent(st2.getSourceId(), t2));
+			assertTrue(tst.isNewEvent(st1.getSourceId(), t1));
+		}
+	}
+
+	@Test
+	public void testSyncManySources() {
+		// Events of a mesh of synchronised graphs : each sink receives
+		// interleaved events from a lot of sources, and sees each of
+		// them twice.
+
+		TestSinkTime tst = new TestSinkTime();
+		SourceTime st[] = new SourceTime[20];
+		long timeIds[] = new long[st.length];
+
+		for (int i = 0; i < st.length; i++)
+			st[i] = new SourceTime(String.format("test%d", i));
+
+		if (tst.isSynchEnable()) {
+			for (int n = 0; n < 100; n++) {
+				for (int i = 0; i < st.length; i++) {
+					timeIds[i] = st[i].newEvent();
+					assertTrue(tst.isNewEvent(st[i].getSourceId(), timeIds[i]));
+				}
+
+				for (int i = st.length - 1; i >= 0; i--)
+					assertFalse(tst.isNewEvent(st[i].getSourceId(), timeIds[i]));
+			}
+		} else {
+			for (int n = 0; n < 100; n++) {
+				for (int i = 0; i < st.length; i++) {
+					timeIds[i] = st[i].newEvent();
+					assertTrue(tst.isNewEvent(st[i].getSourceId(), timeIds[i]));
+				}
+
+				for (int i = st.length - 1; i >= 0; i--)
+					assertTrue(tst.isNewEvent(st[i].getSourceId(), timeIds[i]));
+			}
+		}
+	}
+
+	/**
+	 * Feed a sink with the events of several sources in a round robin way,
+	 * each event being received twice, and print the number of events checked
+	 * per second.
+	 */
+	public void benchSync(int sources, int events) {
+		SinkTime sink = new SinkTime();
+		SourceTime st[] = new SourceTime[sources];
+		String ids[] = new String[sources];
+		int accepted = 0;
+
+		for (int i = 0; i < sources; i++) {
+			st[i] = new SourceTime(String.format("bench%d", i));
+			ids[i] = st[i].getSourceId();
+		}
+
+		long t1 = System.currentTimeMillis();
+
+		for (int n = 0, i = 0; n < events; n += 2, i = (i + 1) % sources) {
+			long timeId = st[i].newEvent();
+
+			if (sink.isNewEvent(ids[i], timeId))
+				accepted++;
+			if (sink.isNewEvent(ids[i], timeId))
+				accepted++;
+		}
+
+		long t2 = System.currentTimeMillis();
+
+		System.out.printf("%d sources, %d events (%d new) in %d ms (%.1f events/s)%n",
+				sources, events, accepted, (t2 - t1),
+				events * 1000.0 / Math.max(1, t2 - t1));
+	}
 }
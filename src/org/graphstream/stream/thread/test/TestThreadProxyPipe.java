@@ -30,6 +30,8 @@
  */
 package org.graphstream.stream.thread.test;
 
+import static org.junit.Assert.*;
+
 import org.graphstream.graph.Graph;
 import org.graphstream.graph.implementations.MultiGraph;
 import org.graphstream.stream.thread.ThreadProxyPipe;
@@ -116,7 +118,165 @@ public class TestThreadProxyPipe {
 			e.printStackTrace();
 		}
 
-		// Now test the results in the target thread.
+		// Now test the results in the target thread. Elements and attributes
+		// of the replay come first, then the live events.
+
+		assertEquals(5, target.getNodeCount());
+		assertEquals(5, target.getEdgeCount());
+		assertNull(target.getNode("B"));
+		assertNull(target.getEdge("AB"));
+		assertNull(target.getEdge("BC"));
+		assertNotNull(target.getEdge("CA"));
+		assertNotNull(target.getEdge("XA"));
+		assertFalse(target.getNode("A").hasAttribute("A1"));
+		assertEquals("foo", target.getNode("A").getAttribute("A2"));
+		assertEquals("bar", target.getNode("X").getAttribute("X1"));
+	}
+
+	@Test
+	public void Test2_AttributeStorm() {
+		Graph source = new MultiGraph("g1");
+		Graph target = new MultiGraph("g2");
+		ThreadProxyPipe proxy = new ThreadProxyPipe(source);
+
+		proxy.addSink(target);
+
+		for (int i = 0; i < 10; i++)
+			source.addNode(String.format("%d", i));
+
+		// Like a layout would do, change the position of each node at each
+		// step, and create temporary elements that do not survive the
+		// step. Nothing is pumped in between.
+
+		for (int step = 0; step < 100; step++) {
+			source.stepBegins(step);
+
+			for (int i = 0; i < 10; i++)
+				source.getNode(String.format("%d", i)).setAttribute("xyz",
+						step, i, 0);
+
+			source.addNode("T");
+			source.addEdge("T0", "T", "0");
+			source.getNode("T").addAttribute("foo", step);
+			source.removeNode("T");
+		}
+
+		proxy.pump();
+
+		// Only the last state must remain in the target.
+
+		assertEquals(99, target.getStep(), 0);
+		assertEquals(10, target.getNodeCount());
+		assertEquals(0, target.getEdgeCount());
+		assertNull(target.getNode("T"));
+		assertNull(target.getEdge("T0"));
+
+		for (int i = 0; i < 10; i++) {
+			Object xyz[] = { 99, i, 0 };
+
+			assertArrayEquals(xyz, (Object[]) target.getNode(
+					String.format("%d", i)).getAttribute("xyz"));
+		}
+	}
+
+	@Test
+	public void Test3_SeveralConsumers() {
+		// The same source mirrored in several threads, each one with its own
+		// proxy and its own pumping rhythm.
+
+		Graph source = new MultiGraph("g");
+		Graph targets[] = new Graph[3];
+		Thread others[] = new Thread[targets.length];
+
+		for (int i = 0; i < targets.length; i++) {
+			targets[i] = new MultiGraph(String.format("g%d", i));
+			others[i] = new Thread(new AnotherThread(new ThreadProxyPipe(
+					source, targets[i], false), targets[i]) {
+				public void run() {
+					do {
+						proxy.pump();
+						Thread.yield();
+					} while (!target.hasAttribute("STOP!"));
+				}
+			});
+			others[i].start();
+		}
+
+		for (int i = 0; i < 100; i++) {
+			source.addNode(String.format("%d", i));
+
+			if (i > 0)
+				source.addEdge(String.format("%d_%d", i - 1, i), String
+						.format("%d", i - 1), String.format("%d", i));
+
+			source.getNode(String.format("%d", i)).addAttribute("i", i);
+		}
+
+		for (int i = 0; i < 100; i += 2)
+			source.removeNode(String.format("%d", i));
+
+		source.addAttribute("STOP!");
+
+		for (Thread other : others) {
+			try {
+				other.join();
+			} catch (InterruptedException e) {
+				e.printStackTrace();
+			}
+		}
+
+		// Each consumer received all the events, in order.
+
+		for (Graph target : targets) {
+			assertEquals(50, target.getNodeCount());
+			assertEquals(0, target.getEdgeCount());
+
+			for (int i = 1; i < 100; i += 2) {
+				Object value = target.getNode(String.format("%d", i))
+						.getAttribute("i");
+				assertEquals(i, value);
+			}
+		}
+	}
+
+	@Test
+	public void Test4_ReplayAndLiveEvents() {
+		// A larger source graph is replayed, while it continues to be
+		// modified before the target had a chance to pump anything.
+
+		Graph source = new MultiGraph("g1");
+		Graph target = new MultiGraph("g2");
+
+		source.addAttribute("foo", "bar");
+
+		for (int i = 0; i < 10000; i++) {
+			source.addNode(String.format("%d", i));
+			source.getNode(String.format("%d", i)).addAttribute("i", i);
+
+			if (i > 0)
+				source.addEdge(String.format("%d_%d", i - 1, i), String
+						.format("%d", i - 1), String.format("%d", i));
+		}
+
+		ThreadProxyPipe proxy = new ThreadProxyPipe(source, target, true);
+
+		source.removeNode("0");
+		source.getNode("1").setAttribute("i", -1);
+		source.addEdge("1_9999", "1", "9999");
+		source.setAttribute("foo", "truc");
+
+		proxy.pump();
+
+		assertEquals(9999, target.getNodeCount());
+		assertEquals(9999, target.getEdgeCount());
+		assertNull(target.getNode("0"));
+		assertNotNull(target.getEdge("1_9999"));
+		assertEquals("truc", target.getAttribute("foo"));
+
+		Object value = target.getNode("1").getAttribute("i");
+		assertEquals(-1, value);
+		value = target.getNode("9999").getAttribute("i");
+		assertEquals(9999, value);
 	}
 
 	/**